@@ -0,0 +1,22 @@
+package com.proj.weather_consumer.config;
+
+import com.proj.weather_consumer.consumer.NotificationFanoutListener;
+import com.proj.weather_consumer.consumer.WeatherEventConsumer;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The "fast-start" profile turns on lazy initialization. Beans that only do their
+ * work through annotation post-processing have to stay eager, or they never start.
+ */
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerWeatherBeans() {
+        // @KafkaListener endpoints are only registered when the bean is created
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                WeatherEventConsumer.class, NotificationFanoutListener.class);
+    }
+}
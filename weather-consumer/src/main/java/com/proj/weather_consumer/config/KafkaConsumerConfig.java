@@ -39,6 +39,9 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
 
+    @Value("${weather.priority.concurrency:2}")
+    private int priorityConcurrency;
+
     @Value("${kafka.topic.dlt.weather-events:weather-events.DLT}")
     private String weatherEventsDltTopic; //new property for Dead Letter Topic
 
@@ -109,6 +112,31 @@ public class KafkaConsumerConfig {
         // allowing them to run concurrently.
         factory.setConcurrency(2);
 
+        factory.setCommonErrorHandler(weatherEventErrorHandler()); // Apply the error handler
+
+        // It's often good practice to manually acknowledge messages after processing,
+        // especially with DLTs, so you have control over when the offset is committed.
+        factory.getContainerProperties().setAckMode(AckMode.RECORD);
+
+        return factory;
+    }
+
+    @Bean
+    // Separate container factory for the priority lane (weather-events-priority).
+    // Its listener gets its own consumers and threads, so alerts are not stuck
+    // behind a backlog of routine readings on the bulk weather-events topic.
+    public ConcurrentKafkaListenerContainerFactory<String, String> priorityKafkaListenerContainerFactory(
+            final ConsumerFactory<String, String> consumerFactory)
+    {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(priorityConcurrency);
+        factory.setCommonErrorHandler(weatherEventErrorHandler());
+        factory.getContainerProperties().setAckMode(AckMode.RECORD);
+        return factory;
+    }
+
+    private DefaultErrorHandler weatherEventErrorHandler() {
         // --- Configure DefaultErrorHandler for DLT and Retries (within Kafka) ---
         // This handler will apply to any exception thrown from your listener,
         // including deserialization errors caught by ErrorHandlingDeserializer
@@ -128,12 +156,6 @@ public class KafkaConsumerConfig {
         //For other exceptions, it will retry then send to DLT
         errorHandler.addRetryableExceptions(RuntimeException.class);
 
-        factory.setCommonErrorHandler(errorHandler); // Apply the error handler
-
-        // It's often good practice to manually acknowledge messages after processing,
-        // especially with DLTs, so you have control over when the offset is committed.
-        factory.getContainerProperties().setAckMode(AckMode.RECORD);
-
-        return factory;
+        return errorHandler;
     }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.proj.weather_consumer.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Beans for the scale-out mode ({@code weather.fanout.mode=kafka}, enabled by the
+ * "scaleout" profile). All nodes share one consumer group on the weather-events
+ * topic, so the topic needs enough partitions to split between them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "weather.fanout.mode", havingValue = "kafka")
+public class KafkaFanoutConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${kafka.topic.weather-events}")
+    private String weatherEventsTopic;
+
+    @Value("${kafka.topic.weather-events-priority}")
+    private String priorityWeatherEventsTopic;
+
+    @Value("${weather.fanout.topic}")
+    private String fanoutTopic;
+
+    @Value("${weather.scale-out.partitions:6}")
+    private int partitions;
+
+    @Bean
+    public NewTopic weatherEventsTopic() {
+        // Upper bound on the number of consumer nodes that can share the ingest load
+        return TopicBuilder.name(weatherEventsTopic).partitions(partitions).build();
+    }
+
+    @Bean
+    public NewTopic priorityWeatherEventsTopic() {
+        return TopicBuilder.name(priorityWeatherEventsTopic).partitions(partitions).build();
+    }
+
+    @Bean
+    public NewTopic weatherNotificationsFanoutTopic() {
+        // Every node reads the whole fan-out topic, so a single partition is enough
+        return TopicBuilder.name(fanoutTopic).partitions(1).build();
+    }
+
+    @Bean
+    public ProducerFactory<String, String> fanoutProducerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        // Dashboard pushes favour latency over batching
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> fanoutKafkaTemplate(ProducerFactory<String, String> fanoutProducerFactory) {
+        return new KafkaTemplate<>(fanoutProducerFactory);
+    }
+}
@@ -1,7 +1,15 @@
 package com.proj.weather_consumer.config;
 
+import com.proj.weather_consumer.service.CompactNotificationPublisher;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.user.UserDestinationMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -10,19 +18,50 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker // Enables WebSocket message handling, backed by a message broker.
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // Looked up lazily, the publisher needs the messaging template this configuration contributes to
+    private final ObjectProvider<CompactNotificationPublisher> compactPublisher;
+
+    public WebSocketConfig(ObjectProvider<CompactNotificationPublisher> compactPublisher) {
+        this.compactPublisher = compactPublisher;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple in-memory message broker.
-        // Messages with "/topic" prefix will be routed to clients subscribed to those topics.
-        config.enableSimpleBroker("/topic");
+        // Messages with "/topic" prefix will be routed to clients subscribed to those topics,
+        // "/queue" carries per-session messages such as the compact notification frames.
+        config.enableSimpleBroker("/topic", "/queue");
 
         // Define a prefix for messages that are bound for methods annotated with @MessageMapping.
         // Messages from clients to the server should be prefixed with "/app".
         config.setApplicationDestinationPrefixes("/app");
+
+        // Compact frames only carry changed fields, so each session must receive them in publish order.
+        config.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // The broker channel is synchronous: once the user destination handler has passed a SUBSCRIBE on,
+        // the broker holds the subscription and compact frames sent from then on are delivered.
+        // SessionSubscribeEvent fires before that, so it cannot be used to start sending deltas.
+        registration.interceptors(new ExecutorChannelInterceptor() {
+            @Override
+            public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                            Exception ex) {
+                if (ex == null && handler instanceof UserDestinationMessageHandler) {
+                    compactPublisher.getObject().onSubscriptionRegistered(message);
+                }
+            }
+        });
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // Native WebSocket endpoint. The servlet container negotiates permessage-deflate
+        // when the browser offers it, which shrinks the repetitive JSON frames considerably.
+        registry.addEndpoint("/ws-native");
+
         // Registers a WebSocket endpoint that clients will use to connect.
         // The ".withSockJS()" provides fallback options for browsers that don't support WebSockets.
         registry.addEndpoint("/ws").withSockJS();
@@ -0,0 +1,50 @@
+package com.proj.weather_consumer.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proj.weather_consumer.model.WeatherEvent;
+import com.proj.weather_consumer.service.LocalNotificationDelivery;
+import com.proj.weather_consumer.service.RecentNotifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the fan-out topic with a per-node group id, so every node sees every
+ * processed notification and pushes it to its own WebSocket sessions.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.fanout.mode", havingValue = "kafka")
+public class NotificationFanoutListener {
+    private static final Logger log = LoggerFactory.getLogger(NotificationFanoutListener.class);
+
+    private final LocalNotificationDelivery localDelivery;
+    private final RecentNotifications recentNotifications;
+    private final ObjectMapper objectMapper;
+
+    public NotificationFanoutListener(LocalNotificationDelivery localDelivery, RecentNotifications recentNotifications,
+                                      ObjectMapper objectMapper) {
+        this.localDelivery = localDelivery;
+        this.recentNotifications = recentNotifications;
+        this.objectMapper = objectMapper;
+    }
+
+    // Live push only: a node that joins late should not replay old notifications to its dashboards
+    @KafkaListener(id = "notificationFanout", topics = "${weather.fanout.topic}",
+            groupId = "${weather.fanout.group-id}", concurrency = "1",
+            properties = "auto.offset.reset=latest")
+    public void listen(String payload) {
+        try {
+            WeatherEvent notification = objectMapper.readValue(payload, WeatherEvent.class);
+            // Every node sees every notification here, so each node also keeps the full history
+            // and can serve the complete recent list to dashboards that connect to it
+            localDelivery.deliver(notification);
+            recentNotifications.add(notification);
+        } catch (JsonProcessingException e) {
+            log.error("Corrupted fan-out message received. Discarding. Payload: '{}'. Error: {}",
+                    payload, e.getMessage());
+        }
+    }
+}
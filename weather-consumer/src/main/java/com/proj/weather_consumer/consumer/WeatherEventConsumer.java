@@ -21,9 +21,23 @@ public class WeatherEventConsumer {
         this.objectMapper = objectMapper;
     }
 
-    @KafkaListener(topics = "weather-events", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(id = "weatherEvents", topics = "${kafka.topic.weather-events}", groupId = "${spring.kafka.consumer.group-id}")
     public void listen(String event) {
         System.out.println("Received weather event: {}"+ event);
+        process(event);
+    }
+
+    // Priority lane: condition changes and events matching an active subscription,
+    // consumed by their own listener container so a bulk backlog does not delay them.
+    // It has its own consumer group, so a rebalance of the bulk lane never revokes its partitions.
+    @KafkaListener(id = "priorityWeatherEvents", topics = "${kafka.topic.weather-events-priority}",
+            groupId = "${weather.priority.group-id}", containerFactory = "priorityKafkaListenerContainerFactory")
+    public void listenPriority(String event) {
+        log.info("Received priority weather event: {}", event);
+        process(event);
+    }
+
+    private void process(String event) {
 
         try{
             //Deserialize the string to local WeatherEvent
@@ -36,7 +50,6 @@ public class WeatherEventConsumer {
             WeatherEvent notification = new WeatherEvent(
                     weatherEvent.getCity(), weatherEvent.getCondition(), weatherEvent.getTemperatureCelsius(), notificationMessage, weatherEvent.getTimeStamp()
             );
-            notificationService.sendWeatherNotification(notification);
 
             // Send notifications
             notificationService.sendWeatherNotification(notification);
@@ -0,0 +1,57 @@
+package com.proj.weather_consumer.controller;
+
+import com.proj.weather_consumer.history.TemperatureHistoryStore;
+import com.proj.weather_consumer.model.TemperaturePoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for the compressed per-city temperature history
+ */
+@RestController
+@RequestMapping("/api/history")
+public class HistoryController {
+
+    private final TemperatureHistoryStore historyStore;
+
+    @Autowired
+    public HistoryController(TemperatureHistoryStore historyStore) {
+        this.historyStore = historyStore;
+    }
+
+    /**
+     * Temperature points of a city, the last 7 days unless a range is given
+     */
+    @GetMapping
+    public List<TemperaturePoint> getHistory(
+            @RequestParam String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        return historyStore.range(city, start, end);
+    }
+
+    /**
+     * Memory used by the history store
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        long points = historyStore.pointCount();
+        long bytes = historyStore.sizeBytes();
+        Map<String, Object> response = new HashMap<>();
+        response.put("cities", historyStore.cityCount());
+        response.put("points", points);
+        response.put("droppedPoints", historyStore.droppedPointCount());
+        response.put("encodedBytes", bytes);
+        response.put("bytesPerPoint", points == 0 ? 0 : (double) bytes / points);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,30 @@
+package com.proj.weather_consumer.controller;
+
+import com.proj.weather_consumer.model.Subscription;
+import com.proj.weather_consumer.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Active subscriptions, polled by the producer to route matching events to the priority topic
+ */
+@RestController
+@RequestMapping("/api/subscriptions")
+public class SubscriptionController {
+
+    private final UserRepository userRepository;
+
+    @Autowired
+    public SubscriptionController(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @GetMapping
+    public List<Subscription> getActiveSubscriptions() {
+        return userRepository.findActiveSubscriptions();
+    }
+}
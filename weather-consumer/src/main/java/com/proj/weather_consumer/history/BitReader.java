@@ -0,0 +1,37 @@
+package com.proj.weather_consumer.history;
+
+/**
+ * Reads bit strings written by {@link BitWriter}.
+ */
+final class BitReader {
+
+    private final long[] words;
+    private int position;
+
+    BitReader(long[] words) {
+        this.words = words;
+    }
+
+    boolean readBit() {
+        return readBits(1) == 1;
+    }
+
+    long readBits(int bits) {
+        if (bits == 0) {
+            return 0;
+        }
+        int index = position >>> 6;
+        int offset = position & 63;
+        int available = 64 - offset;
+        long result;
+        if (bits <= available) {
+            result = (words[index] << offset) >>> (64 - bits);
+        } else {
+            int overflow = bits - available;
+            long high = (words[index] << offset) >>> (64 - available);
+            result = (high << overflow) | (words[index + 1] >>> (64 - overflow));
+        }
+        position += bits;
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package com.proj.weather_consumer.history;
+
+import java.util.Arrays;
+
+/**
+ * Appends bit strings, most significant bit first, into a growable long[].
+ */
+final class BitWriter {
+
+    private long[] words = new long[4];
+    private int bitCount;
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Writes the low {@code bits} bits of {@code value} (0 to 64).
+     */
+    void writeBits(long value, int bits) {
+        if (bits == 0) {
+            return;
+        }
+        ensureCapacity(bitCount + bits);
+        long masked = bits == 64 ? value : value & ((1L << bits) - 1);
+        int index = bitCount >>> 6;
+        int free = 64 - (bitCount & 63);
+        if (bits <= free) {
+            words[index] |= masked << (free - bits);
+        } else {
+            int overflow = bits - free;
+            words[index] |= masked >>> overflow;
+            words[index + 1] |= masked << (64 - overflow);
+        }
+        bitCount += bits;
+    }
+
+    private void ensureCapacity(int bits) {
+        int needed = (bits + 63) >>> 6;
+        if (needed > words.length) {
+            words = Arrays.copyOf(words, Math.max(needed, words.length * 2));
+        }
+    }
+
+    /**
+     * Drops the unused tail of the buffer once no more bits will be written.
+     */
+    void trim() {
+        words = Arrays.copyOf(words, (bitCount + 63) >>> 6);
+    }
+
+    long[] words() {
+        return words;
+    }
+
+    int bitCount() {
+        return bitCount;
+    }
+}
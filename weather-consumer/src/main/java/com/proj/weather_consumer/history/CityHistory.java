@@ -0,0 +1,105 @@
+package com.proj.weather_consumer.history;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Compressed temperature series of one city: sealed blocks, oldest first, plus the block being filled.
+ * The newest {@code reorderWindow} points are held unencoded and sorted, because the priority and
+ * bulk lanes deliver a city's events on separate threads and can overtake each other.
+ */
+final class CityHistory {
+
+    private final int blockSize;
+    private final Deque<GorillaBlock> sealedBlocks = new ArrayDeque<>();
+    private GorillaBlock activeBlock;
+    private long lastEncodedTimestamp = Long.MIN_VALUE;
+
+    // Sorted by timestamp; one slot more than the window so a new point can be placed before flushing
+    private final long[] pendingTimestamps;
+    private final double[] pendingValues;
+    private int pendingCount;
+
+    CityHistory(int blockSize, int reorderWindow) {
+        this.blockSize = blockSize;
+        this.pendingTimestamps = new long[reorderWindow + 1];
+        this.pendingValues = new double[reorderWindow + 1];
+    }
+
+    /**
+     * @return false if the point is older than everything in the reorder window, the encoding only goes forward
+     */
+    synchronized boolean append(long timestamp, double value) {
+        if (timestamp < lastEncodedTimestamp) {
+            return false;
+        }
+        int position = pendingCount;
+        while (position > 0 && pendingTimestamps[position - 1] > timestamp) {
+            pendingTimestamps[position] = pendingTimestamps[position - 1];
+            pendingValues[position] = pendingValues[position - 1];
+            position--;
+        }
+        pendingTimestamps[position] = timestamp;
+        pendingValues[position] = value;
+        pendingCount++;
+        if (pendingCount == pendingTimestamps.length) {
+            encode(pendingTimestamps[0], pendingValues[0]);
+            pendingCount--;
+            System.arraycopy(pendingTimestamps, 1, pendingTimestamps, 0, pendingCount);
+            System.arraycopy(pendingValues, 1, pendingValues, 0, pendingCount);
+        }
+        return true;
+    }
+
+    private void encode(long timestamp, double value) {
+        if (activeBlock == null || activeBlock.isFull()) {
+            if (activeBlock != null) {
+                activeBlock.seal();
+                sealedBlocks.addLast(activeBlock);
+            }
+            activeBlock = new GorillaBlock(blockSize);
+        }
+        activeBlock.append(timestamp, value);
+        lastEncodedTimestamp = timestamp;
+    }
+
+    synchronized void decode(long from, long to, GorillaBlock.PointConsumer consumer) {
+        for (GorillaBlock block : sealedBlocks) {
+            block.decode(from, to, consumer);
+        }
+        if (activeBlock != null) {
+            activeBlock.decode(from, to, consumer);
+        }
+        for (int i = 0; i < pendingCount && pendingTimestamps[i] <= to; i++) {
+            if (pendingTimestamps[i] >= from) {
+                consumer.accept(pendingTimestamps[i], pendingValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Drops whole sealed blocks whose newest point is before {@code cutoff}.
+     */
+    synchronized void evictBefore(long cutoff) {
+        while (!sealedBlocks.isEmpty() && sealedBlocks.peekFirst().lastTimestamp() < cutoff) {
+            sealedBlocks.pollFirst();
+        }
+    }
+
+    synchronized long pointCount() {
+        long points = pendingCount + (activeBlock == null ? 0 : activeBlock.count());
+        for (GorillaBlock block : sealedBlocks) {
+            points += block.count();
+        }
+        return points;
+    }
+
+    synchronized long sizeBytes() {
+        long bytes = (long) pendingCount * (Long.BYTES + Double.BYTES)
+                + (activeBlock == null ? 0 : activeBlock.sizeBytes());
+        for (GorillaBlock block : sealedBlocks) {
+            bytes += block.sizeBytes();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,172 @@
+package com.proj.weather_consumer.history;
+
+/**
+ * A block of up to {@code capacity} points compressed as in Facebook's Gorilla paper:
+ * timestamps (epoch seconds) as delta-of-delta with variable-length prefixes, and
+ * temperatures as the XOR of consecutive IEEE 754 values with a reusable
+ * leading/trailing-zero window. Regular readings of a slowly changing temperature
+ * cost a few bits per point.
+ */
+final class GorillaBlock {
+
+    private final int capacity;
+    private final BitWriter writer = new BitWriter();
+    private int count;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private long lastDelta;
+    private long lastValueBits;
+    private int lastLeading = -1;
+    private int lastTrailing;
+
+    GorillaBlock(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Timestamps must not go backwards; {@link CityHistory} enforces that.
+     */
+    void append(long timestamp, double value) {
+        long valueBits = Double.doubleToRawLongBits(value);
+        if (count == 0) {
+            writer.writeBits(timestamp, 64);
+            writer.writeBits(valueBits, 64);
+            firstTimestamp = timestamp;
+        } else {
+            long delta = timestamp - lastTimestamp;
+            writeDeltaOfDelta(delta - lastDelta);
+            lastDelta = delta;
+            writeValue(valueBits ^ lastValueBits);
+        }
+        lastTimestamp = timestamp;
+        lastValueBits = valueBits;
+        count++;
+    }
+
+    private void writeDeltaOfDelta(long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            writer.writeBit(false);
+        } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+            writer.writeBits(0b10, 2);
+            writer.writeBits(deltaOfDelta, 7);
+        } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+            writer.writeBits(0b110, 3);
+            writer.writeBits(deltaOfDelta, 9);
+        } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+            writer.writeBits(0b1110, 4);
+            writer.writeBits(deltaOfDelta, 12);
+        } else {
+            writer.writeBits(0b1111, 4);
+            writer.writeBits(deltaOfDelta, 64);
+        }
+    }
+
+    private void writeValue(long xor) {
+        if (xor == 0) {
+            writer.writeBit(false);
+            return;
+        }
+        writer.writeBit(true);
+        // The leading count has to fit in 5 bits
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (lastLeading >= 0 && leading >= lastLeading && trailing >= lastTrailing) {
+            writer.writeBit(false);
+            writer.writeBits(xor >>> lastTrailing, 64 - lastLeading - lastTrailing);
+        } else {
+            int significant = 64 - leading - trailing;
+            writer.writeBit(true);
+            writer.writeBits(leading, 5);
+            // 64 significant bits are stored as 0, a non-zero XOR never has 0
+            writer.writeBits(significant, 6);
+            writer.writeBits(xor >>> trailing, significant);
+            lastLeading = leading;
+            lastTrailing = trailing;
+        }
+    }
+
+    /**
+     * Decodes the points with {@code from <= timestamp <= to}, in order.
+     */
+    void decode(long from, long to, PointConsumer consumer) {
+        if (count == 0 || to < firstTimestamp || from > lastTimestamp) {
+            return;
+        }
+        BitReader reader = new BitReader(writer.words());
+        long timestamp = reader.readBits(64);
+        long valueBits = reader.readBits(64);
+        long delta = 0;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 0; ; i++) {
+            if (timestamp > to) {
+                return;
+            }
+            if (timestamp >= from) {
+                consumer.accept(timestamp, Double.longBitsToDouble(valueBits));
+            }
+            if (i + 1 == count) {
+                return;
+            }
+            delta += readDeltaOfDelta(reader);
+            timestamp += delta;
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leading = (int) reader.readBits(5);
+                    int significant = (int) reader.readBits(6);
+                    if (significant == 0) {
+                        significant = 64;
+                    }
+                    trailing = 64 - leading - significant;
+                }
+                valueBits ^= reader.readBits(64 - leading - trailing) << trailing;
+            }
+        }
+    }
+
+    private static long readDeltaOfDelta(BitReader reader) {
+        if (!reader.readBit()) {
+            return 0;
+        }
+        if (!reader.readBit()) {
+            return signed(reader.readBits(7), 7);
+        }
+        if (!reader.readBit()) {
+            return signed(reader.readBits(9), 9);
+        }
+        if (!reader.readBit()) {
+            return signed(reader.readBits(12), 12);
+        }
+        return reader.readBits(64);
+    }
+
+    // Values were written in two's complement over [-(2^(bits-1) - 1), 2^(bits-1)]
+    private static long signed(long value, int bits) {
+        return value > (1L << (bits - 1)) ? value - (1L << bits) : value;
+    }
+
+    void seal() {
+        writer.trim();
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    long sizeBytes() {
+        return (long) writer.words().length * Long.BYTES;
+    }
+
+    @FunctionalInterface
+    interface PointConsumer {
+        void accept(long timestamp, double value);
+    }
+}
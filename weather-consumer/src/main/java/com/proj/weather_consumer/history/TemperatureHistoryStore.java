@@ -0,0 +1,93 @@
+package com.proj.weather_consumer.history;
+
+import com.proj.weather_consumer.model.TemperaturePoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory per-city temperature history for charting and anomaly checks.
+ * Points are Gorilla-encoded in fixed-size blocks (see {@link GorillaBlock}), which keeps
+ * regular readings at a few bytes per point instead of an entity or boxed object each.
+ * Timestamps are stored with second precision.
+ */
+@Component
+public class TemperatureHistoryStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemperatureHistoryStore.class);
+
+    private final int blockSize;
+    private final long retentionSeconds;
+    private final int reorderWindow;
+    private final Map<String, CityHistory> histories = new ConcurrentHashMap<>();
+    private final AtomicLong droppedPoints = new AtomicLong();
+
+    public TemperatureHistoryStore(@Value("${weather.history.block-size:1024}") int blockSize,
+                                   @Value("${weather.history.retention-days:180}") int retentionDays,
+                                   @Value("${weather.history.reorder-window:32}") int reorderWindow) {
+        this.blockSize = blockSize;
+        this.retentionSeconds = retentionDays * 86400L;
+        this.reorderWindow = reorderWindow;
+    }
+
+    public void record(String city, LocalDateTime timeStamp, double temperatureCelsius) {
+        if (city == null || timeStamp == null) {
+            return;
+        }
+        long timestamp = toEpochSecond(timeStamp);
+        CityHistory history = histories.computeIfAbsent(city, ignored -> new CityHistory(blockSize, reorderWindow));
+        if (!history.append(timestamp, temperatureCelsius)) {
+            droppedPoints.incrementAndGet();
+            LOGGER.warn("Dropping temperature point for {} at {}: older than the last {} points already kept",
+                    city, timeStamp, reorderWindow);
+            return;
+        }
+        history.evictBefore(timestamp - retentionSeconds);
+    }
+
+    /**
+     * Decodes the points of a city between {@code from} and {@code to}, both inclusive, oldest first.
+     */
+    public List<TemperaturePoint> range(String city, LocalDateTime from, LocalDateTime to) {
+        CityHistory history = histories.get(city);
+        List<TemperaturePoint> points = new ArrayList<>();
+        if (history != null) {
+            history.decode(toEpochSecond(from), toEpochSecond(to), (timestamp, value) -> points.add(
+                    new TemperaturePoint(LocalDateTime.ofEpochSecond(timestamp, 0, ZoneOffset.UTC), value)));
+        }
+        return points;
+    }
+
+    public int cityCount() {
+        return histories.size();
+    }
+
+    public long pointCount() {
+        return histories.values().stream().mapToLong(CityHistory::pointCount).sum();
+    }
+
+    /**
+     * Points that arrived too far out of order to be kept.
+     */
+    public long droppedPointCount() {
+        return droppedPoints.get();
+    }
+
+    public long sizeBytes() {
+        return histories.values().stream().mapToLong(CityHistory::sizeBytes).sum();
+    }
+
+    // Event timestamps are local times without a zone, UTC is only used as a fixed mapping
+    private static long toEpochSecond(LocalDateTime timeStamp) {
+        return timeStamp.toEpochSecond(ZoneOffset.UTC);
+    }
+}
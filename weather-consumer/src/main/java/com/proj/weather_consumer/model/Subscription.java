@@ -0,0 +1,16 @@
+package com.proj.weather_consumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A city and weather condition that at least one user wants to be notified about.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Subscription {
+    private String city;
+    private String condition;
+}
@@ -1,6 +1,8 @@
 package com.proj.weather_consumer.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import com.proj.weather_consumer.model.Subscription;
 import com.proj.weather_consumer.model.User;
 import java.util.List;
 
@@ -11,4 +13,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     //Custom method to find users who match a city and a notification preference
     List<User> findByCityAndNotificationPreference(String city, String notificationPreference);
+
+    //Distinct city/condition pairs that someone is subscribed to, used by the producer to prioritise alerts
+    @Query("select distinct new com.proj.weather_consumer.model.Subscription(u.city, u.notificationPreference) from users u")
+    List<Subscription> findActiveSubscriptions();
 }
@@ -0,0 +1,171 @@
+package com.proj.weather_consumer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proj.weather_consumer.model.WeatherEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in compact notification frames for dashboards that subscribe to
+ * {@code /user/queue/weather-compact}. A frame carries only the fields that changed
+ * since the previous frame for the same city, without the human-readable message:
+ * {@code c} city (always), {@code k} condition, {@code t} temperature, {@code s} epoch seconds.
+ * The delta is serialized once per notification and shared by all sessions that already
+ * have the city; a session seeing a city for the first time gets every field.
+ * Frames must arrive in order, see {@code WebSocketConfig#configureMessageBroker}, and a session
+ * only starts receiving them once the broker has registered its subscription, see
+ * {@code WebSocketConfig#configureClientInboundChannel}. Otherwise its first full frame could be
+ * dropped while the city is already counted as known.
+ * Frames are built under the lock but sent from a single thread, in the order they were built,
+ * so the Kafka listener threads of both lanes do not wait on one send per compact session.
+ */
+@Service
+public class CompactNotificationPublisher {
+
+    public static final String COMPACT_DESTINATION = "/queue/weather-compact";
+    private static final String USER_COMPACT_DESTINATION = "/user" + COMPACT_DESTINATION;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompactNotificationPublisher.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Guarded by this: last notification per city, and for each compact session its
+    // subscription id and the cities it has received a frame for
+    private final Map<String, WeatherEvent> lastByCity = new HashMap<>();
+    private final Map<String, String> subscriptionBySession = new HashMap<>();
+    private final Map<String, Set<String>> citiesBySession = new HashMap<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "compact-frame-sender"));
+
+    public CompactNotificationPublisher(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void publish(WeatherEvent notification) {
+        WeatherEvent previous = lastByCity.put(notification.getCity(), notification);
+        if (citiesBySession.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, String>> frames = new ArrayList<>(citiesBySession.size());
+        try {
+            String delta = previous == null ? null : objectMapper.writeValueAsString(frame(previous, notification));
+            String full = null;
+            for (Map.Entry<String, Set<String>> session : citiesBySession.entrySet()) {
+                boolean knowsCity = !session.getValue().add(notification.getCity());
+                String payload;
+                if (delta != null && knowsCity) {
+                    payload = delta;
+                } else {
+                    if (full == null) {
+                        full = objectMapper.writeValueAsString(frame(null, notification));
+                    }
+                    payload = full;
+                }
+                frames.add(Map.entry(session.getKey(), payload));
+            }
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Could not serialize compact frame for {}", notification, e);
+            return;
+        }
+        // Submitted under the lock, so the sender sees the frames in the order the state advanced
+        sender.execute(() -> send(frames));
+    }
+
+    private void send(List<Map.Entry<String, String>> frames) {
+        for (Map.Entry<String, String> frame : frames) {
+            try {
+                messagingTemplate.convertAndSendToUser(frame.getKey(), COMPACT_DESTINATION, frame.getValue(),
+                        sessionHeaders(frame.getKey()));
+            } catch (RuntimeException e) {
+                LOGGER.error("Could not send compact frame to session {}", frame.getKey(), e);
+            }
+        }
+    }
+
+    private static Map<String, Object> frame(WeatherEvent previous, WeatherEvent current) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("c", current.getCity());
+        if (previous == null || !Objects.equals(previous.getCondition(), current.getCondition())) {
+            frame.put("k", current.getCondition());
+        }
+        if (previous == null || previous.getTemperatureCelsius() != current.getTemperatureCelsius()) {
+            frame.put("t", current.getTemperatureCelsius());
+        }
+        if (current.getTimeStamp() != null
+                && (previous == null || !current.getTimeStamp().equals(previous.getTimeStamp()))) {
+            frame.put("s", current.getTimeStamp().toEpochSecond(ZoneOffset.UTC));
+        }
+        return frame;
+    }
+
+    // Sessions are anonymous, so address them by session id rather than by user
+    private static Map<String, Object> sessionHeaders(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+
+    /**
+     * Called with each client SUBSCRIBE once the broker has registered it.
+     */
+    public synchronized void onSubscriptionRegistered(Message<?> message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() == SimpMessageType.SUBSCRIBE
+                && USER_COMPACT_DESTINATION.equals(accessor.getDestination())) {
+            subscriptionBySession.put(accessor.getSessionId(), accessor.getSubscriptionId());
+            citiesBySession.put(accessor.getSessionId(), new HashSet<>());
+        }
+    }
+
+    @EventListener
+    public synchronized void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        if (Objects.equals(subscriptionBySession.get(accessor.getSessionId()), accessor.getSubscriptionId())) {
+            removeSession(accessor.getSessionId());
+        }
+    }
+
+    @EventListener
+    public synchronized void onDisconnect(SessionDisconnectEvent event) {
+        removeSession(event.getSessionId());
+    }
+
+    private void removeSession(String sessionId) {
+        subscriptionBySession.remove(sessionId);
+        citiesBySession.remove(sessionId);
+    }
+
+    public synchronized int compactSessionCount() {
+        return citiesBySession.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        sender.shutdown();
+    }
+}
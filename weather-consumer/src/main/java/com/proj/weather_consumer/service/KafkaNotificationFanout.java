@@ -0,0 +1,50 @@
+package com.proj.weather_consumer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proj.weather_consumer.model.WeatherEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scale-out mode: the node that consumed an event broadcasts the processed
+ * notification on the fan-out topic. Every node reads that topic with its own
+ * group id (see {@code NotificationFanoutListener}) and pushes it to its local sessions.
+ */
+@Service
+@ConditionalOnProperty(name = "weather.fanout.mode", havingValue = "kafka")
+public class KafkaNotificationFanout implements NotificationFanout {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaNotificationFanout.class);
+
+    private final KafkaTemplate<String, String> fanoutKafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${weather.fanout.topic}")
+    private String fanoutTopic;
+
+    public KafkaNotificationFanout(KafkaTemplate<String, String> fanoutKafkaTemplate, ObjectMapper objectMapper) {
+        this.fanoutKafkaTemplate = fanoutKafkaTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(WeatherEvent notification) {
+        try {
+            String payload = objectMapper.writeValueAsString(notification);
+            fanoutKafkaTemplate.send(fanoutTopic, notification.getCity(), payload).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    // No node will push this notification, log it and carry on with the next one
+                    LOGGER.error("Could not broadcast notification on fan-out topic {}: {}. Error: {}",
+                            fanoutTopic, notification, ex.getMessage(), ex);
+                }
+            });
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Could not serialize notification for fan-out: {}", notification, e);
+        }
+    }
+}
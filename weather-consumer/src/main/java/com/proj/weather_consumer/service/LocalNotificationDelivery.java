@@ -0,0 +1,73 @@
+package com.proj.weather_consumer.service;
+
+import com.proj.weather_consumer.history.TemperatureHistoryStore;
+import com.proj.weather_consumer.model.WeatherEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Everything that happens when a notification reaches this node's dashboards:
+ * the full JSON broadcast, the compact per-session frames and the temperature history.
+ * A city's events travel on the bulk and the priority topic, read by separate containers,
+ * so an older reading can arrive after a newer one. It is still recorded in the history,
+ * but not pushed live, where it would replace the current condition with a stale one.
+ */
+@Service
+public class LocalNotificationDelivery {
+
+    public static final String NOTIFICATION_DESTINATION = "/topic/weather-notifications";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalNotificationDelivery.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final CompactNotificationPublisher compactPublisher;
+    private final TemperatureHistoryStore historyStore;
+    // Timestamp of the newest notification pushed live per city, also the lock for pushing that city
+    private final Map<String, LiveCursor> cursorByCity = new ConcurrentHashMap<>();
+
+    public LocalNotificationDelivery(SimpMessagingTemplate messagingTemplate,
+                                     CompactNotificationPublisher compactPublisher,
+                                     TemperatureHistoryStore historyStore) {
+        this.messagingTemplate = messagingTemplate;
+        this.compactPublisher = compactPublisher;
+        this.historyStore = historyStore;
+    }
+
+    public void deliver(WeatherEvent notification) {
+        pushLive(notification);
+        historyStore.record(notification.getCity(), notification.getTimeStamp(), notification.getTemperatureCelsius());
+    }
+
+    private void pushLive(WeatherEvent notification) {
+        if (notification.getCity() == null || notification.getTimeStamp() == null) {
+            push(notification);
+            return;
+        }
+        LiveCursor cursor = cursorByCity.computeIfAbsent(notification.getCity(), ignored -> new LiveCursor());
+        synchronized (cursor) {
+            if (cursor.lastTimestamp != null && notification.getTimeStamp().isBefore(cursor.lastTimestamp)) {
+                LOGGER.debug("Not pushing {} live, {} was already pushed for {}",
+                        notification, cursor.lastTimestamp, notification.getCity());
+                return;
+            }
+            cursor.lastTimestamp = notification.getTimeStamp();
+            push(notification);
+        }
+    }
+
+    private void push(WeatherEvent notification) {
+        // Send a message to all subscribers of the "/topic/weather-notifications" destination
+        messagingTemplate.convertAndSend(NOTIFICATION_DESTINATION, notification);
+        compactPublisher.publish(notification);
+    }
+
+    private static final class LiveCursor {
+        private LocalDateTime lastTimestamp;
+    }
+}
@@ -0,0 +1,24 @@
+package com.proj.weather_consumer.service;
+
+import com.proj.weather_consumer.model.WeatherEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Single node mode: delivers notifications to this node's sessions only.
+ */
+@Service
+@ConditionalOnProperty(name = "weather.fanout.mode", havingValue = "local", matchIfMissing = true)
+public class LocalNotificationFanout implements NotificationFanout {
+
+    private final LocalNotificationDelivery localDelivery;
+
+    public LocalNotificationFanout(LocalNotificationDelivery localDelivery) {
+        this.localDelivery = localDelivery;
+    }
+
+    @Override
+    public void publish(WeatherEvent notification) {
+        localDelivery.deliver(notification);
+    }
+}
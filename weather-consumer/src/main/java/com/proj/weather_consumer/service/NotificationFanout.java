@@ -0,0 +1,14 @@
+package com.proj.weather_consumer.service;
+
+import com.proj.weather_consumer.model.WeatherEvent;
+
+/**
+ * Delivers a processed notification to the WebSocket sessions of every node.
+ * The local implementation pushes straight to this node's broker, the Kafka
+ * implementation broadcasts through a fan-out topic so that all nodes in a
+ * scaled-out deployment push it to their own sessions.
+ */
+public interface NotificationFanout {
+
+    void publish(WeatherEvent notification);
+}
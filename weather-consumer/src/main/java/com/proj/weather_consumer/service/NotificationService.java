@@ -2,6 +2,7 @@ package com.proj.weather_consumer.service;
 import com.proj.weather_consumer.model.WeatherEvent;
 import com.proj.weather_consumer.model.WeatherNotification;
 import com.proj.weather_consumer.repository.WeatherNotificationRepository;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
@@ -18,12 +19,19 @@ public class NotificationService {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final WeatherNotificationRepository notificationRepository;
+    private final NotificationFanout notificationFanout;
+    // Only present in scale-out mode
+    private final RecentNotifications recentNotifications;
 
     @Autowired
     public NotificationService(SimpMessagingTemplate messagingTemplate, 
-                              WeatherNotificationRepository notificationRepository) {
+                              WeatherNotificationRepository notificationRepository,
+                              NotificationFanout notificationFanout,
+                              ObjectProvider<RecentNotifications> recentNotifications) {
         this.messagingTemplate = messagingTemplate;
         this.notificationRepository = notificationRepository;
+        this.notificationFanout = notificationFanout;
+        this.recentNotifications = recentNotifications.getIfAvailable();
     }
 
     public void sendWeatherNotification(WeatherEvent notification) {
@@ -31,8 +39,8 @@ public class NotificationService {
         WeatherNotification persistentNotification = new WeatherNotification(notification);
         notificationRepository.save(persistentNotification);
         
-        // Send a message to all subscribers of the "/topic/weather-notifications" destination
-        messagingTemplate.convertAndSend("/topic/weather-notifications", notification);
+        // Push to "/topic/weather-notifications" on this node, or on every node in scale-out mode
+        notificationFanout.publish(notification);
         LOGGER.info("Sent weather notification to UI and saved to database: {} ", notification);
     }
 
@@ -48,6 +56,10 @@ public class NotificationService {
     }
     
     public List<WeatherNotification> getRecentNotifications() {
+        // In scale-out mode this node's database only holds the events it consumed itself
+        if (recentNotifications != null) {
+            return recentNotifications.newestFirst();
+        }
         return notificationRepository.findTop50ByOrderByTimeStampDesc();
     }
 }
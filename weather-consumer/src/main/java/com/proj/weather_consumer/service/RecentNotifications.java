@@ -0,0 +1,45 @@
+package com.proj.weather_consumer.service;
+
+import com.proj.weather_consumer.model.WeatherEvent;
+import com.proj.weather_consumer.model.WeatherNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Scale-out mode: the newest notifications of the whole deployment, fed from the fan-out topic.
+ * Each node only stores what it consumed itself, so its database cannot serve the dashboard's
+ * initial list. A node that joins late starts empty, as its fan-out listener starts at the end.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.fanout.mode", havingValue = "kafka")
+public class RecentNotifications {
+
+    // Same size and order as WeatherNotificationRepository#findTop50ByOrderByTimeStampDesc
+    static final int CAPACITY = 50;
+    private static final Comparator<WeatherNotification> NEWEST_FIRST = Comparator.comparing(
+            WeatherNotification::getTimeStamp, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()));
+
+    // Guarded by this, sorted newest first
+    private final List<WeatherNotification> notifications = new ArrayList<>(CAPACITY + 1);
+
+    public synchronized void add(WeatherEvent event) {
+        WeatherNotification notification = new WeatherNotification(event);
+        int position = notifications.size();
+        while (position > 0 && NEWEST_FIRST.compare(notifications.get(position - 1), notification) > 0) {
+            position--;
+        }
+        notifications.add(position, notification);
+        if (notifications.size() > CAPACITY) {
+            notifications.remove(CAPACITY);
+        }
+    }
+
+    public synchronized List<WeatherNotification> newestFirst() {
+        return new ArrayList<>(notifications);
+    }
+}
@@ -11,6 +11,10 @@ let temperatureHistory = [];
 let cityHistory = {};
 let chart = null;
 let darkMode = false;
+// Compact frames are opt-in: open the dashboard with ?compact to receive only changed fields
+const compactFrames = new URLSearchParams(window.location.search).has('compact');
+let compactState = {};
+let compactSubscription = null;
 
 // DOM Elements
 const elements = {
@@ -526,42 +530,120 @@ function setConnected(connected) {
 }
 
 /**
- * Connect to WebSocket
+ * Create a STOMP client over the native WebSocket endpoint, or over SockJS
  */
-function connect() {
+function createStompClient(useNative) {
+    if (useNative && 'WebSocket' in window) {
+        // The browser negotiates permessage-deflate with the native /ws-native endpoint
+        const protocol = window.location.protocol === 'https:' ? 'wss://' : 'ws://';
+        return Stomp.over(new WebSocket(protocol + window.location.host + '/ws-native'));
+    }
     // Establish a SockJS connection to the /ws endpoint defined in WebSocketConfig
-    var socket = new SockJS('/ws');
-    stompClient = Stomp.over(socket);
+    return Stomp.over(new SockJS('/ws'));
+}
+
+/**
+ * Connect to WebSocket
+ */
+function connect(useNative = true) {
+    let opened = false;
+    stompClient = createStompClient(useNative);
     
     // Disable debug logging
     stompClient.debug = null;
 
     stompClient.connect({}, function(frame) {
+        opened = true;
         setConnected(true);
         console.log('Connected: ' + frame);
 
+        if (compactFrames) {
+            subscribeCompact();
+            return;
+        }
+
         // Subscribe to the public weather notifications topic
         stompClient.subscribe('/topic/weather-notifications', function(notificationMessage) {
             console.log("Received raw message:", notificationMessage.body);
             const notification = JSON.parse(notificationMessage.body);
                 console.log("Parsed weather data:", notification);
-            showNotification(notification);
-            updateCurrentWeather(notification);
-            updateChart(notification);
-            
-            // Store city data for filtering
-            if (!cityHistory[notification.city]) {
-                cityHistory[notification.city] = true;
-                updateCitySelect();
-            }
+            handleNotification(notification);
         });
 
     }, function(error) {
         console.error('STOMP Error: ' + error);
         setConnected(false);
+        // Fall back to SockJS when the native WebSocket endpoint cannot be reached
+        if (useNative === true && !opened) {
+            connect(false);
+        }
+    });
+}
+
+/**
+ * Subscribe to per-session frames with only the fields that changed for each city.
+ * The server forgets what it sent on unsubscribe, so resubscribing starts over with full frames.
+ */
+function subscribeCompact() {
+    compactState = {};
+    compactSubscription = stompClient.subscribe('/user/queue/weather-compact', function(compactMessage) {
+        const notification = decodeCompactFrame(JSON.parse(compactMessage.body));
+        if (notification === null) {
+            // A delta without the full frame before it, resync instead of showing partial data
+            console.warn('Compact frame without a base state, resubscribing');
+            compactSubscription.unsubscribe();
+            subscribeCompact();
+            return;
+        }
+        handleNotification(notification);
     });
 }
 
+/**
+ * Update the dashboard with a received notification
+ */
+function handleNotification(notification) {
+    showNotification(notification);
+    updateCurrentWeather(notification);
+    updateChart(notification);
+    
+    // Store city data for filtering
+    if (!cityHistory[notification.city]) {
+        cityHistory[notification.city] = true;
+        updateCitySelect();
+    }
+}
+
+/**
+ * Merge a compact frame into the last known state of its city.
+ * Keys: c city, k condition, t temperature, s epoch seconds; absent keys are unchanged.
+ * Returns null, without merging, for a delta on a city with no complete state yet.
+ */
+function decodeCompactFrame(frame) {
+    const known = compactState[frame.c];
+    if (!known && (frame.k === undefined || frame.t === undefined)) {
+        return null;
+    }
+    const state = known || { city: frame.c };
+    if (frame.k !== undefined) {
+        state.condition = frame.k;
+    }
+    if (frame.t !== undefined) {
+        state.temperatureCelsius = frame.t;
+    }
+    if (frame.s !== undefined) {
+        // Same local date-time string as the full JSON frames
+        state.timeStamp = new Date(frame.s * 1000).toISOString().slice(0, 19);
+    }
+    compactState[frame.c] = state;
+    
+    // The message text is not sent in compact mode, rebuild it as WeatherEventConsumer does
+    return {
+        ...state,
+        message: `New weather alert for ${state.city}: ${state.condition}, ${state.temperatureCelsius.toFixed(1)}°C`
+    };
+}
+
 /**
  * Disconnect from WebSocket
  */
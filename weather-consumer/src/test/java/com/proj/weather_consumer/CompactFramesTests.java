@@ -0,0 +1,103 @@
+package com.proj.weather_consumer;
+
+import com.proj.weather_consumer.model.WeatherEvent;
+import com.proj.weather_consumer.service.CompactNotificationPublisher;
+import com.proj.weather_consumer.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnableAutoConfiguration(exclude = KafkaAutoConfiguration.class)
+@TestPropertySource(properties = {
+		"spring.kafka.bootstrap-servers=",
+		"spring.kafka.listener.auto-startup=false"
+})
+class CompactFramesTests {
+
+	@MockBean
+	private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private NotificationService notificationService;
+
+	@Autowired
+	private CompactNotificationPublisher compactPublisher;
+
+	@Test
+	void nativeEndpointNegotiatesDeflateAndSendsOnlyChangedFields() throws Exception {
+		WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+		stompClient.setMessageConverter(new StringMessageConverter());
+		WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+		handshakeHeaders.setSecWebSocketExtensions(List.of(new WebSocketExtension("permessage-deflate")));
+		URI nativeEndpoint = URI.create("ws://localhost:" + port + "/ws-native");
+
+		WebSocketSession rawSession = new StandardWebSocketClient()
+				.execute(new AbstractWebSocketHandler() { }, handshakeHeaders, nativeEndpoint).get(10, TimeUnit.SECONDS);
+		assertTrue(rawSession.getExtensions().stream().anyMatch(extension -> "permessage-deflate".equals(extension.getName())));
+		rawSession.close();
+
+		StompSession session = stompClient.connectAsync(nativeEndpoint,
+				handshakeHeaders, new StompHeaders(), new StompSessionHandlerAdapter() { }).get(10, TimeUnit.SECONDS);
+
+		BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+		session.subscribe("/user/queue/weather-compact", new StompFrameHandler() {
+			@Override
+			public Type getPayloadType(StompHeaders headers) {
+				return String.class;
+			}
+
+			@Override
+			public void handleFrame(StompHeaders headers, Object payload) {
+				frames.add((String) payload);
+			}
+		});
+		// Counts a session only once the broker has registered its subscription, so the full frame is not lost
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (compactPublisher.compactSessionCount() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+
+		LocalDateTime time = LocalDateTime.of(2025, 1, 1, 10, 0);
+		notificationService.sendWeatherNotification(new WeatherEvent("Compact City", "rain", 10.5, "first", time));
+		notificationService.sendWeatherNotification(new WeatherEvent("Compact City", "rain", 11.0, "second", time.plusMinutes(10)));
+
+		assertEquals("{\"c\":\"Compact City\",\"k\":\"rain\",\"t\":10.5,\"s\":1735725600}", frames.poll(10, TimeUnit.SECONDS));
+		assertEquals("{\"c\":\"Compact City\",\"t\":11.0,\"s\":1735726200}", frames.poll(10, TimeUnit.SECONDS));
+		assertNull(frames.poll(200, TimeUnit.MILLISECONDS));
+		session.disconnect();
+		stompClient.stop();
+	}
+}
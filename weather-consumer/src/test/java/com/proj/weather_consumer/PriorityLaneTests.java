@@ -0,0 +1,97 @@
+package com.proj.weather_consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The priority lane keeps delivering while the bulk lane is behind.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@EmbeddedKafka(partitions = 2, topics = {"weather-events", "weather-events-priority"},
+		bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+@TestPropertySource(properties = "spring.kafka.producer.key-serializer=org.apache.kafka.common.serialization.StringSerializer")
+class PriorityLaneTests {
+
+	@Autowired
+	private KafkaListenerEndpointRegistry registry;
+
+	@Autowired
+	private EmbeddedKafkaBroker broker;
+
+	@Autowired
+	private KafkaTemplate<String, String> kafkaTemplate;
+
+	@Autowired
+	@Qualifier("brokerChannel")
+	private SubscribableChannel brokerChannel;
+
+	@Test
+	void priorityRecordIsDeliveredByItsOwnContainerWhileBulkLaneIsBehind() throws Exception {
+		MessageListenerContainer bulk = registry.getListenerContainer("weatherEvents");
+		MessageListenerContainer priority = registry.getListenerContainer("priorityWeatherEvents");
+		ContainerTestUtils.waitForAssignment(bulk, broker.getPartitionsPerTopic());
+		ContainerTestUtils.waitForAssignment(priority, broker.getPartitionsPerTopic());
+		// Separate consumer groups, so a bulk rebalance cannot revoke the priority partitions
+		assertNotEquals(bulk.getGroupId(), priority.getGroupId());
+
+		// Threads that pushed each city to the dashboards
+		BlockingQueue<Map.Entry<String, String>> pushed = new LinkedBlockingQueue<>();
+		brokerChannel.subscribe(message -> {
+			if ("/topic/weather-notifications".equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+				String payload = new String((byte[]) message.getPayload());
+				String city = payload.contains("Bulk City") ? "Bulk City" : "Priority City";
+				pushed.add(Map.entry(city, Thread.currentThread().getName()));
+			}
+		});
+
+		bulk.pause();
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!bulk.isContainerPaused() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertTrue(bulk.isContainerPaused());
+
+		kafkaTemplate.send("weather-events", "Bulk City", event("Bulk City"));
+		kafkaTemplate.send("weather-events-priority", "Priority City", event("Priority City"));
+		kafkaTemplate.flush();
+
+		Map.Entry<String, String> first = pushed.poll(20, TimeUnit.SECONDS);
+		assertNotNull(first);
+		assertEquals("Priority City", first.getKey());
+		assertTrue(first.getValue().startsWith("priorityWeatherEvents"), first.getValue());
+		assertNull(pushed.poll(500, TimeUnit.MILLISECONDS));
+
+		// The bulk lane catches up once it resumes
+		bulk.resume();
+		Map.Entry<String, String> second = pushed.poll(20, TimeUnit.SECONDS);
+		assertNotNull(second);
+		assertEquals("Bulk City", second.getKey());
+		assertTrue(second.getValue().startsWith("weatherEvents"), second.getValue());
+	}
+
+	private static String event(String city) {
+		return "{\"city\":\"" + city + "\",\"condition\":\"rain\",\"temperatureCelsius\":10.5,\"timeStamp\":\"2025-01-01T10:00:00\"}";
+	}
+}
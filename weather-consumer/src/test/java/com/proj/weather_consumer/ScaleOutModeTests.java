@@ -0,0 +1,132 @@
+package com.proj.weather_consumer;
+
+import com.proj.weather_consumer.repository.WeatherNotificationRepository;
+import com.proj.weather_consumer.service.NotificationService;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs two consumer nodes in one JVM against an embedded broker in scale-out mode.
+ */
+@EmbeddedKafka(partitions = 4, topics = {"weather-events", "weather-events-priority", "weather-notifications-fanout"})
+class ScaleOutModeTests {
+
+	private static final int EVENTS = 20;
+
+	private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+	@AfterEach
+	void stopNodes() {
+		nodes.forEach(ConfigurableApplicationContext::close);
+	}
+
+	@Test
+	void nodesSplitPartitionsAndEveryNodePushesEveryNotification(EmbeddedKafkaBroker broker) throws Exception {
+		List<List<String>> pushed = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			ConfigurableApplicationContext node = startNode(broker, i);
+			nodes.add(node);
+			List<String> destinations = new CopyOnWriteArrayList<>();
+			node.getBean("brokerChannel", SubscribableChannel.class).subscribe(message ->
+					destinations.add(SimpMessageHeaderAccessor.getDestination(message.getHeaders())));
+			pushed.add(destinations);
+		}
+		List<MessageListenerContainer> eventContainers = new ArrayList<>();
+		for (ConfigurableApplicationContext node : nodes) {
+			for (MessageListenerContainer container : node.getBean(KafkaListenerEndpointRegistry.class).getListenerContainers()) {
+				if ("notificationFanout".equals(container.getListenerId())) {
+					ContainerTestUtils.waitForAssignment(container, broker.getPartitionsPerTopic());
+				}
+				else if ("weatherEvents".equals(container.getListenerId())) {
+					eventContainers.add(container);
+				}
+			}
+		}
+		// The shared group splits the weather-events partitions instead of duplicating them
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+		while (System.currentTimeMillis() < deadline && !splitBetweenNodes(eventContainers, broker.getPartitionsPerTopic())) {
+			Thread.sleep(100);
+		}
+		assertTrue(splitBetweenNodes(eventContainers, broker.getPartitionsPerTopic()));
+
+		Map<String, Object> producerProps = KafkaTestUtils.producerProps(broker);
+		producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+		producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+		KafkaTemplate<String, String> template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProps));
+		for (int i = 0; i < EVENTS; i++) {
+			String city = "City-" + i;
+			template.send("weather-events", city, "{\"city\":\"" + city
+					+ "\",\"condition\":\"rain\",\"temperatureCelsius\":10.5,\"timeStamp\":\"2025-01-01T10:00:00\"}");
+		}
+		template.flush();
+
+		deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+		while (System.currentTimeMillis() < deadline
+				&& pushed.stream().anyMatch(destinations -> notificationCount(destinations) < EVENTS)) {
+			Thread.sleep(100);
+		}
+		for (List<String> destinations : pushed) {
+			assertEquals(EVENTS, notificationCount(destinations));
+		}
+		long stored = 0;
+		for (ConfigurableApplicationContext node : nodes) {
+			stored += node.getBean(WeatherNotificationRepository.class).count();
+		}
+		// Each event was consumed and stored by exactly one node
+		assertEquals(EVENTS, stored);
+		// But every node serves the full recent list to dashboards that connect to it
+		for (ConfigurableApplicationContext node : nodes) {
+			assertEquals(EVENTS, node.getBean(NotificationService.class).getRecentNotifications().size());
+		}
+		template.destroy();
+	}
+
+	private static ConfigurableApplicationContext startNode(EmbeddedKafkaBroker broker, int index) {
+		return new SpringApplicationBuilder(WeatherConsumerApplication.class)
+				.profiles("scaleout")
+				.run(
+						"--server.port=0",
+						"--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+						"--spring.datasource.url=jdbc:h2:mem:scaleout-node" + index,
+						"--spring.jpa.show-sql=false",
+						"--weather.scale-out.partitions=" + broker.getPartitionsPerTopic());
+	}
+
+	private static boolean splitBetweenNodes(List<MessageListenerContainer> containers, int partitions) {
+		int assigned = 0;
+		for (MessageListenerContainer container : containers) {
+			if (container.getAssignedPartitions() == null || container.getAssignedPartitions().isEmpty()) {
+				return false;
+			}
+			assigned += container.getAssignedPartitions().size();
+		}
+		return assigned == partitions;
+	}
+
+	private static long notificationCount(List<String> destinations) {
+		return destinations.stream().filter("/topic/weather-notifications"::equals).count();
+	}
+}
@@ -0,0 +1,111 @@
+package com.proj.weather_consumer.history;
+
+import com.proj.weather_consumer.model.TemperaturePoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TemperatureHistoryStoreTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	@Test
+	void decodesRangesExactlyAcrossBlocks() {
+		TemperatureHistoryStore store = new TemperatureHistoryStore(100, 365, 0);
+		Random random = new Random(42);
+		List<LocalDateTime> times = new ArrayList<>();
+		List<Double> temperatures = new ArrayList<>();
+		LocalDateTime time = START;
+		double temperature = 8.0;
+		for (int i = 0; i < 1000; i++) {
+			// Mostly regular ten minute polls with some jitter and gaps
+			time = time.plusSeconds(600 + (random.nextInt(10) == 0 ? random.nextInt(5000) - 30 : 0));
+			temperature = Math.round((temperature + random.nextGaussian() * 0.3) * 10) / 10.0;
+			double value = random.nextInt(50) == 0 ? random.nextDouble() * 1e6 - 5e5 : temperature;
+			store.record("Athlone, IE", time, value);
+			times.add(time);
+			temperatures.add(value);
+		}
+
+		List<TemperaturePoint> all = store.range("Athlone, IE", START, time);
+		assertEquals(1000, all.size());
+		for (int i = 0; i < all.size(); i++) {
+			assertEquals(times.get(i), all.get(i).getTimeStamp());
+			assertEquals(temperatures.get(i), all.get(i).getTemperatureCelsius());
+		}
+
+		List<TemperaturePoint> slice = store.range("Athlone, IE", times.get(250), times.get(749));
+		assertEquals(500, slice.size());
+		assertEquals(times.get(250), slice.get(0).getTimeStamp());
+		assertEquals(temperatures.get(749), slice.get(499).getTemperatureCelsius());
+		assertTrue(store.range("Dublin, IE", START, time).isEmpty());
+	}
+
+	@Test
+	void regularReadingsTakeAFewBytesPerPoint() {
+		TemperatureHistoryStore store = new TemperatureHistoryStore(1024, 1000, 32);
+		LocalDateTime time = START;
+		for (int i = 0; i < 100_000; i++) {
+			time = time.plusMinutes(10);
+			// Ten minute polls of hourly Open-Meteo values: a daily cycle in 0.1 degree steps
+			store.record("Athlone, IE", time, Math.round(80 + 40 * Math.sin((i / 6) * Math.PI / 12)) / 10.0);
+		}
+		assertEquals(100_000, store.pointCount());
+		assertTrue((double) store.sizeBytes() / store.pointCount() < 2.0,
+				"bytes per point: " + (double) store.sizeBytes() / store.pointCount());
+	}
+
+	@Test
+	void reordersInterleavedLanesWithinTheWindow() {
+		TemperatureHistoryStore store = new TemperatureHistoryStore(50, 365, 4);
+		List<LocalDateTime> times = new ArrayList<>();
+		List<Integer> deliveryOrder = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			times.add(START.plusMinutes(10L * i));
+			deliveryOrder.add(i);
+		}
+		// Every third event goes through the priority lane and overtakes up to three bulk events
+		deliveryOrder.sort(Comparator.comparingDouble(i -> i % 3 == 0 ? i - 3.5 : i));
+		for (int i : deliveryOrder) {
+			store.record("Athlone, IE", times.get(i), i / 10.0);
+		}
+
+		List<TemperaturePoint> all = store.range("Athlone, IE", START, times.get(599));
+		assertEquals(600, all.size());
+		assertEquals(0, store.droppedPointCount());
+		for (int i = 0; i < all.size(); i++) {
+			assertEquals(times.get(i), all.get(i).getTimeStamp());
+			assertEquals(i / 10.0, all.get(i).getTemperatureCelsius());
+		}
+	}
+
+	@Test
+	void dropsPointsOlderThanTheWindowAndOldBlocks() {
+		TemperatureHistoryStore store = new TemperatureHistoryStore(10, 1, 2);
+		store.record("Athlone, IE", START.plusHours(1), 5.0);
+		store.record("Athlone, IE", START, 4.0);
+		assertEquals(2, store.pointCount());
+		assertEquals(START, store.range("Athlone, IE", START, START.plusHours(1)).get(0).getTimeStamp());
+
+		store.record("Athlone, IE", START.plusHours(2), 6.0);
+		store.record("Athlone, IE", START.plusHours(3), 7.0);
+		store.record("Athlone, IE", START.plusMinutes(30), 4.5);
+		assertEquals(4, store.pointCount());
+		assertEquals(1, store.droppedPointCount());
+
+		for (int i = 0; i < 100; i++) {
+			store.record("Athlone, IE", START.plusHours(4 + i), i);
+		}
+		assertTrue(store.pointCount() < 40);
+		assertFalse(store.range("Athlone, IE", START.plusDays(3), START.plusDays(5)).isEmpty());
+		assertTrue(store.range("Athlone, IE", START, START.plusHours(40)).isEmpty());
+	}
+}
@@ -0,0 +1,78 @@
+package com.proj.weather_consumer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proj.weather_consumer.model.WeatherEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class CompactNotificationPublisherTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+	private final CompactNotificationPublisher publisher =
+			new CompactNotificationPublisher(messagingTemplate, new ObjectMapper());
+
+	@AfterEach
+	void close() {
+		publisher.close();
+	}
+
+	@Test
+	void publishDoesNotWaitForSlowSessionsAndKeepsFrameOrder() throws Exception {
+		CountDownLatch slowBroker = new CountDownLatch(1);
+		List<String> sent = new CopyOnWriteArrayList<>();
+		doAnswer(invocation -> {
+			slowBroker.await(10, TimeUnit.SECONDS);
+			sent.add(invocation.getArgument(0) + " " + invocation.getArgument(2));
+			return null;
+		}).when(messagingTemplate).convertAndSendToUser(anyString(), eq(CompactNotificationPublisher.COMPACT_DESTINATION),
+				any(Object.class), anyMap());
+		subscribe("session-1");
+		subscribe("session-2");
+
+		long start = System.nanoTime();
+		publisher.publish(new WeatherEvent("Athlone, IE", "rain", 10.5, "first", START));
+		publisher.publish(new WeatherEvent("Athlone, IE", "rain", 11.0, "second", START.plusMinutes(10)));
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+		slowBroker.countDown();
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (sent.size() < 4 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		for (String session : List.of("session-1", "session-2")) {
+			assertEquals(List.of(
+					session + " {\"c\":\"Athlone, IE\",\"k\":\"rain\",\"t\":10.5,\"s\":1735725600}",
+					session + " {\"c\":\"Athlone, IE\",\"t\":11.0,\"s\":1735726200}"),
+					sent.stream().filter(frame -> frame.startsWith(session + " ")).toList());
+		}
+	}
+
+	private void subscribe(String sessionId) {
+		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+		accessor.setSessionId(sessionId);
+		accessor.setSubscriptionId("sub-0");
+		accessor.setDestination("/user" + CompactNotificationPublisher.COMPACT_DESTINATION);
+		publisher.onSubscriptionRegistered(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+	}
+}
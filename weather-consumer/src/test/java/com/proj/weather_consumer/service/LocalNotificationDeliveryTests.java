@@ -0,0 +1,53 @@
+package com.proj.weather_consumer.service;
+
+import com.proj.weather_consumer.history.TemperatureHistoryStore;
+import com.proj.weather_consumer.model.WeatherEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class LocalNotificationDeliveryTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+	private final CompactNotificationPublisher compactPublisher = mock(CompactNotificationPublisher.class);
+	private final TemperatureHistoryStore historyStore = new TemperatureHistoryStore(1024, 365, 32);
+	private final LocalNotificationDelivery delivery =
+			new LocalNotificationDelivery(messagingTemplate, compactPublisher, historyStore);
+
+	@Test
+	void olderEventFromTheOtherLaneIsRecordedButNotPushed() {
+		// The condition change overtook a routine repeat still queued on the bulk lane
+		WeatherEvent rain = new WeatherEvent("Athlone, IE", "rain", 7.0, "rain", START.plusMinutes(10));
+		WeatherEvent clear = new WeatherEvent("Athlone, IE", "clear", 8.0, "clear", START);
+		delivery.deliver(rain);
+		delivery.deliver(clear);
+
+		verify(messagingTemplate).convertAndSend(LocalNotificationDelivery.NOTIFICATION_DESTINATION, rain);
+		verify(messagingTemplate, never()).convertAndSend(LocalNotificationDelivery.NOTIFICATION_DESTINATION, clear);
+		verify(compactPublisher, never()).publish(clear);
+		assertEquals(2, historyStore.range("Athlone, IE", START, START.plusHours(1)).size());
+
+		WeatherEvent later = new WeatherEvent("Athlone, IE", "rain", 6.5, "later", START.plusMinutes(20));
+		delivery.deliver(later);
+		verify(compactPublisher).publish(later);
+		verify(messagingTemplate, times(2)).convertAndSend(any(String.class), any(WeatherEvent.class));
+	}
+
+	@Test
+	void citiesAreOrderedIndependently() {
+		delivery.deliver(new WeatherEvent("Athlone, IE", "rain", 7.0, "rain", START.plusMinutes(10)));
+		delivery.deliver(new WeatherEvent("Dublin, IE", "clear", 9.0, "clear", START));
+
+		verify(compactPublisher, times(2)).publish(any(WeatherEvent.class));
+	}
+}
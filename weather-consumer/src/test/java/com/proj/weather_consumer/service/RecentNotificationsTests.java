@@ -0,0 +1,31 @@
+package com.proj.weather_consumer.service;
+
+import com.proj.weather_consumer.model.WeatherEvent;
+import com.proj.weather_consumer.model.WeatherNotification;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecentNotificationsTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	@Test
+	void keepsTheNewestNotificationsNewestFirst() {
+		RecentNotifications recent = new RecentNotifications();
+		// Nodes publish to the fan-out topic independently, so arrival order is not event order
+		for (int i = 0; i < 120; i++) {
+			int hour = i % 2 == 0 ? i : 120 - i;
+			recent.add(new WeatherEvent("Athlone, IE", "rain", hour, "hour " + hour, START.plusHours(hour)));
+		}
+
+		List<WeatherNotification> newest = recent.newestFirst();
+		assertEquals(RecentNotifications.CAPACITY, newest.size());
+		for (int i = 0; i < newest.size(); i++) {
+			assertEquals(START.plusHours(119 - i), newest.get(i).getTimeStamp());
+		}
+	}
+}
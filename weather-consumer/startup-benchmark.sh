@@ -0,0 +1,44 @@
+#!/usr/bin/env sh
+# Measures how long the application context takes to refresh, as a plain jar and
+# in fast-start mode (AOT + AppCDS archive + lazy initialization).
+# spring.context.exit=onRefresh exits before lifecycle beans start, so no broker is needed.
+# Fails if any run does not start cleanly, so a broken image is never reported as a fast one.
+# Usage: startup-benchmark.sh <extracted-jar> <cds-archive> [runs]
+# AOT_PROFILES must match the profiles the jar was AOT-processed with (default fast-start).
+# Kept identical in weather-producer and weather-consumer, each is its own Docker build context.
+JAR="$1"
+ARCHIVE="$2"
+RUNS="${3:-3}"
+PROFILES="${AOT_PROFILES:-fast-start}"
+# Same profiles for the baseline, without the lazy initialization of fast-start
+BASELINE_PROFILES=$(echo "$PROFILES" | tr ',' '\n' | grep -vx 'fast-start' | paste -sd, -)
+
+measure() {
+    total=0
+    i=0
+    log=$(mktemp)
+    while [ "$i" -lt "$RUNS" ]; do
+        start=$(date +%s%N)
+        java "$@" -Dspring.context.exit=onRefresh -jar "$JAR" > "$log" 2>&1
+        status=$?
+        end=$(date +%s%N)
+        if [ "$status" -ne 0 ]; then
+            echo "Startup failed with exit code $status: java $*" >&2
+            tail -n 50 "$log" >&2
+            rm -f "$log"
+            return 1
+        fi
+        total=$((total + (end - start) / 1000000))
+        i=$((i + 1))
+    done
+    rm -f "$log"
+    echo $((total / RUNS))
+}
+
+BASELINE_MS=$(measure -Xshare:auto -Dspring.aot.enabled=false -Dspring.profiles.active="$BASELINE_PROFILES") || exit 1
+FAST_MS=$(measure -XX:SharedArchiveFile="$ARCHIVE" -Dspring.aot.enabled=true -Dspring.profiles.active="$PROFILES") || exit 1
+
+echo "Startup benchmark for $(basename "$JAR") with profiles $PROFILES, average of $RUNS runs"
+echo "  baseline (JIT jar, no AOT, eager beans): ${BASELINE_MS} ms"
+echo "  fast-start (AOT + AppCDS + lazy init):   ${FAST_MS} ms"
+echo "  improvement:                             $((BASELINE_MS - FAST_MS)) ms ($(( (BASELINE_MS - FAST_MS) * 100 / BASELINE_MS ))%)"
@@ -0,0 +1,23 @@
+package com.proj.weather_producer.config;
+
+import com.proj.weather_producer.priority.ActiveSubscriptions;
+import com.proj.weather_producer.service.WeatherService;
+import com.proj.weather_producer.spool.SpoolDrainer;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The "fast-start" profile turns on lazy initialization. Beans that only do their
+ * work through annotation post-processing have to stay eager, or they never start.
+ */
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerWeatherBeans() {
+        // @Scheduled methods are only registered when the bean is created
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                WeatherService.class, SpoolDrainer.class, ActiveSubscriptions.class);
+    }
+}
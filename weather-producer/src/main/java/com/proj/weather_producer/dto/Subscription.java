@@ -0,0 +1,11 @@
+package com.proj.weather_producer.dto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Subscription {
+    private String city;
+    private String condition;
+}
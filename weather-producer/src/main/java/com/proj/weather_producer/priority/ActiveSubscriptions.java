@@ -0,0 +1,53 @@
+package com.proj.weather_producer.priority;
+
+import com.proj.weather_producer.dto.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cached copy of the consumer's active subscriptions (city + condition).
+ * If the consumer cannot be reached, the last known set is kept.
+ */
+@Component
+public class ActiveSubscriptions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActiveSubscriptions.class);
+
+    @Value("${weather.subscriptions.url}")
+    private String subscriptionsUrl;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private volatile Set<String> subscriptions = Set.of();
+
+    @Scheduled(fixedDelayString = "${weather.subscriptions.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            Subscription[] response = restTemplate.getForObject(subscriptionsUrl, Subscription[].class);
+            if (response != null) {
+                subscriptions = Arrays.stream(response)
+                        .map(subscription -> key(subscription.getCity(), subscription.getCondition()))
+                        .collect(Collectors.toUnmodifiableSet());
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Could not refresh active subscriptions from {}, keeping {} known: {}",
+                    subscriptionsUrl, subscriptions.size(), e.getMessage());
+        }
+    }
+
+    public boolean matches(String city, String condition) {
+        return subscriptions.contains(key(city, condition));
+    }
+
+    private static String key(String city, String condition) {
+        return city + '|' + (condition == null ? "" : condition.toLowerCase(Locale.ROOT));
+    }
+}
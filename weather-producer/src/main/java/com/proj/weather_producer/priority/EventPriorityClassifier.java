@@ -0,0 +1,32 @@
+package com.proj.weather_producer.priority;
+
+import com.proj.weather_producer.model.WeatherEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which events go to the priority topic: those that match an active
+ * subscription, and those whose condition differs from the city's previous event.
+ */
+@Component
+public class EventPriorityClassifier {
+
+    private final ActiveSubscriptions activeSubscriptions;
+    private final Map<String, String> lastConditionByCity = new ConcurrentHashMap<>();
+
+    public EventPriorityClassifier(ActiveSubscriptions activeSubscriptions) {
+        this.activeSubscriptions = activeSubscriptions;
+    }
+
+    /**
+     * Call once per event, it records the event's condition for the next comparison.
+     */
+    public boolean isPriority(WeatherEvent event) {
+        String previous = lastConditionByCity.put(event.getCity(), event.getCondition());
+        boolean conditionChanged = previous != null && !Objects.equals(previous, event.getCondition());
+        return conditionChanged || activeSubscriptions.matches(event.getCity(), event.getCondition());
+    }
+}
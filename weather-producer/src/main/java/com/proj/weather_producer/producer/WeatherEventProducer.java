@@ -1,19 +1,69 @@
 package com.proj.weather_producer.producer;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import com.proj.weather_producer.model.WeatherEvent;
+import com.proj.weather_producer.priority.EventPriorityClassifier;
+import com.proj.weather_producer.spool.EventSpool;
 
 @Service
 public class WeatherEventProducer {
-    private static final String TOPIC = "weather-events";
     private final KafkaTemplate<String, WeatherEvent> kafkaTemplate;
+    private final EventSpool eventSpool;
+    private final EventPriorityClassifier priorityClassifier;
+
+    @Value("${kafka.topic.weather-events:weather-events}")
+    private String topic;
+
+    @Value("${kafka.topic.weather-events-priority:weather-events-priority}")
+    private String priorityTopic;
 
-    public WeatherEventProducer(KafkaTemplate<String, WeatherEvent> kafkaTemplate) {
+    public WeatherEventProducer(KafkaTemplate<String, WeatherEvent> kafkaTemplate, EventSpool eventSpool,
+                                EventPriorityClassifier priorityClassifier) {
         this.kafkaTemplate = kafkaTemplate;
+        this.eventSpool = eventSpool;
+        this.priorityClassifier = priorityClassifier;
     }
 
     public void sendWeatherEvent(WeatherEvent event) {
-        kafkaTemplate.send(TOPIC, event);
-        System.out.println("Published weather event to Kafka: " + event.getCondition());
+        boolean priority = priorityClassifier.isPriority(event);
+        // While anything is spooled, newer events queue behind it to keep the per-city order
+        if (!eventSpool.isEmpty()) {
+            spool(event, "earlier events are still spooled");
+            return;
+        }
+        try {
+            send(event, priority).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    spool(event, ex.getMessage());
+                }
+            });
+            System.out.println("Published " + (priority ? "priority " : "") + "weather event to Kafka: " + event.getCondition());
+        } catch (RuntimeException e) {
+            // Thrown when broker metadata or send buffer space is not available within max.block.ms
+            spool(event, e.getMessage());
+        }
+    }
+
+    /**
+     * Sends without the spool fallback, used by the spool drainer to replay events.
+     * Replays always use the bulk topic, which keeps the spool's per-city order.
+     */
+    public CompletableFuture<SendResult<String, WeatherEvent>> send(WeatherEvent event) {
+        return send(event, false);
+    }
+
+    private CompletableFuture<SendResult<String, WeatherEvent>> send(WeatherEvent event, boolean priority) {
+        // Keyed by city so a city's events stay on one partition, in order, when consumers scale out
+        return kafkaTemplate.send(priority ? priorityTopic : topic, event.getCity(), event);
+    }
+
+    private void spool(WeatherEvent event, String reason) {
+        if (eventSpool.append(event)) {
+            System.out.println("Kafka unavailable (" + reason + "), spooled weather event to disk: " + event.getCondition());
+        }
     }
 }
@@ -0,0 +1,220 @@
+package com.proj.weather_producer.spool;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proj.weather_producer.model.WeatherEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, memory-mapped on-disk spool for weather events that could not be
+ * handed to Kafka. Events are kept in arrival order across fixed-size segment files,
+ * so replaying them front to back preserves the per-city order.
+ * Only {@link SpoolDrainer} reads; appends may come from any thread.
+ */
+@Component
+public class EventSpool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventSpool.class);
+    private static final String SEGMENT_SUFFIX = ".spool";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxBytes;
+    private final ObjectMapper objectMapper;
+    private final Deque<SpoolSegment> segments = new ArrayDeque<>();
+    private final Counter appendedCounter;
+    private final Counter drainedCounter;
+    private final Counter droppedCounter;
+
+    private long pendingRecords;
+    private long pendingBytes;
+
+    public EventSpool(@Value("${weather.spool.dir:spool}") String directory,
+                      @Value("${weather.spool.segment-size-bytes:4194304}") int segmentSize,
+                      @Value("${weather.spool.max-bytes:268435456}") long maxBytes,
+                      ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry) {
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        this.maxBytes = maxBytes;
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(this.directory);
+            recoverSegments();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open event spool in " + this.directory.toAbsolutePath(), e);
+        }
+        this.appendedCounter = Counter.builder("weather.spool.appended")
+                .description("Events written to the spool").register(meterRegistry);
+        this.drainedCounter = Counter.builder("weather.spool.drained")
+                .description("Spooled events replayed to Kafka").register(meterRegistry);
+        this.droppedCounter = Counter.builder("weather.spool.dropped")
+                .description("Events lost because the spool was full").register(meterRegistry);
+        Gauge.builder("weather.spool.size", this, EventSpool::size)
+                .description("Events waiting in the spool").register(meterRegistry);
+        Gauge.builder("weather.spool.bytes", this, EventSpool::bytes)
+                .baseUnit("bytes").description("Bytes waiting in the spool").register(meterRegistry);
+        Gauge.builder("weather.spool.oldest.age", this, EventSpool::oldestAgeSeconds)
+                .baseUnit("seconds").description("Age of the oldest spooled event").register(meterRegistry);
+    }
+
+    private void recoverSegments() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            SpoolSegment segment = SpoolSegment.open(file,
+                    Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), segmentSize);
+            segments.addLast(segment);
+            for (int position = segment.readPosition(); segment.hasUnread(position); position = segment.nextPosition(position)) {
+                pendingRecords++;
+            }
+            pendingBytes += segment.unreadBytes();
+        }
+        if (pendingRecords > 0) {
+            LOGGER.info("Recovered {} spooled weather events from {}", pendingRecords, directory.toAbsolutePath());
+        }
+    }
+
+    /**
+     * @return false if the event could not be spooled and is lost
+     */
+    public synchronized boolean append(WeatherEvent event) {
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(event);
+            int recordBytes = SpoolSegment.RECORD_OVERHEAD + payload.length;
+            if (pendingBytes + recordBytes > maxBytes || recordBytes > segmentSize - SpoolSegment.HEADER_BYTES) {
+                LOGGER.error("Event spool is full ({} bytes), dropping weather event: {}", pendingBytes, event);
+                droppedCounter.increment();
+                return false;
+            }
+            long now = System.currentTimeMillis();
+            if (segments.isEmpty() || !segments.peekLast().append(payload, now)) {
+                // Zero-padded ids keep the lexical file order equal to the append order
+                long id = segments.isEmpty() ? 0 : segments.peekLast().id() + 1;
+                SpoolSegment segment = SpoolSegment.open(directory.resolve(String.format("%019d%s", id, SEGMENT_SUFFIX)), id, segmentSize);
+                segments.addLast(segment);
+                segment.append(payload, now);
+            }
+            pendingRecords++;
+            pendingBytes += recordBytes;
+            appendedCounter.increment();
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Could not write weather event to the spool, dropping it: {}", event, e);
+            droppedCounter.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Reads up to {@code maxEvents} of the oldest events without removing them.
+     * Pass the result to {@link #commit(Batch)} once the events have been delivered.
+     */
+    public synchronized Batch peek(int maxEvents) {
+        List<WeatherEvent> events = new ArrayList<>();
+        int records = 0;
+        for (SpoolSegment segment : segments) {
+            for (int position = segment.readPosition(); segment.hasUnread(position) && records < maxEvents;
+                 position = segment.nextPosition(position)) {
+                records++;
+                try {
+                    events.add(objectMapper.readValue(segment.recordPayload(position), WeatherEvent.class));
+                } catch (IOException e) {
+                    LOGGER.error("Skipping unreadable spool record in segment {}: {}", segment.id(), e.getMessage());
+                }
+            }
+        }
+        return new Batch(events, records);
+    }
+
+    /**
+     * Removes the events of a delivered batch and deletes segments that are fully drained.
+     */
+    public synchronized void commit(Batch batch) {
+        int remaining = batch.recordCount();
+        while (remaining > 0 && !segments.isEmpty()) {
+            SpoolSegment segment = segments.peekFirst();
+            int position = segment.readPosition();
+            while (remaining > 0 && segment.hasUnread(position)) {
+                pendingBytes -= SpoolSegment.RECORD_OVERHEAD + segment.recordLength(position);
+                position = segment.nextPosition(position);
+                pendingRecords--;
+                remaining--;
+            }
+            segment.commitReadPosition(position);
+            // The last segment stays open for appends
+            if (!segment.hasUnread(position) && segments.size() > 1) {
+                segments.pollFirst();
+                try {
+                    segment.delete();
+                } catch (IOException e) {
+                    LOGGER.warn("Could not delete drained spool segment {}: {}", segment.id(), e.getMessage());
+                }
+            } else if (!segment.hasUnread(position)) {
+                break;
+            }
+        }
+        drainedCounter.increment(batch.recordCount());
+    }
+
+    public synchronized boolean isEmpty() {
+        return pendingRecords == 0;
+    }
+
+    public synchronized long size() {
+        return pendingRecords;
+    }
+
+    public synchronized long bytes() {
+        return pendingBytes;
+    }
+
+    public synchronized double oldestAgeSeconds() {
+        for (SpoolSegment segment : segments) {
+            if (segment.hasUnread(segment.readPosition())) {
+                return (System.currentTimeMillis() - segment.recordTimestamp(segment.readPosition())) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (SpoolSegment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close spool segment {}: {}", segment.id(), e.getMessage());
+            }
+        }
+        segments.clear();
+    }
+
+    /**
+     * Events read by {@link #peek(int)}; {@code recordCount} also counts unreadable records.
+     */
+    public record Batch(List<WeatherEvent> events, int recordCount) {
+    }
+}
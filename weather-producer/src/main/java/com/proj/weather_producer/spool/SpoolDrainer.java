@@ -0,0 +1,103 @@
+package com.proj.weather_producer.spool;
+
+import com.proj.weather_producer.model.WeatherEvent;
+import com.proj.weather_producer.producer.WeatherEventProducer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays spooled events to Kafka in batches, oldest first, once the broker is reachable again.
+ * A batch is only removed from the spool after every send in it is acknowledged, so a
+ * failed batch is retried whole on the next run (at-least-once).
+ * A batch still unacknowledged after {@code weather.spool.send-timeout-ms} stays in the producer
+ * buffer until {@code delivery.timeout.ms}, so runs are skipped until its sends have settled
+ * rather than sending the same events again.
+ */
+@Component
+public class SpoolDrainer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpoolDrainer.class);
+
+    private final EventSpool eventSpool;
+    private final WeatherEventProducer weatherEventProducer;
+
+    @Value("${weather.spool.drain-batch-size:100}")
+    private int batchSize;
+
+    @Value("${weather.spool.drain-max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${weather.spool.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    // Only touched by the scheduled drain, which never overlaps itself
+    private EventSpool.Batch outstandingBatch;
+    private List<CompletableFuture<?>> outstandingSends;
+
+    public SpoolDrainer(EventSpool eventSpool, WeatherEventProducer weatherEventProducer) {
+        this.eventSpool = eventSpool;
+        this.weatherEventProducer = weatherEventProducer;
+    }
+
+    @Scheduled(fixedDelayString = "${weather.spool.drain-interval-ms:5000}")
+    public void drain() {
+        if (outstandingSends != null) {
+            if (!outstandingSends.stream().allMatch(CompletableFuture::isDone)) {
+                LOGGER.debug("Spooled batch of {} weather events still in flight, skipping this run",
+                        outstandingBatch.recordCount());
+                return;
+            }
+            EventSpool.Batch settled = outstandingBatch;
+            boolean delivered = outstandingSends.stream().noneMatch(CompletableFuture::isCompletedExceptionally);
+            outstandingBatch = null;
+            outstandingSends = null;
+            if (!delivered) {
+                LOGGER.warn("Kafka still unavailable, {} weather events remain spooled", eventSpool.size());
+                return;
+            }
+            commit(settled);
+        }
+        for (int run = 0; run < maxBatchesPerRun && !eventSpool.isEmpty(); run++) {
+            EventSpool.Batch batch = eventSpool.peek(batchSize);
+            List<CompletableFuture<?>> sends = new ArrayList<>();
+            try {
+                for (WeatherEvent event : batch.events()) {
+                    sends.add(weatherEventProducer.send(event));
+                }
+                CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                awaitSettled(batch, sends);
+                return;
+            } catch (TimeoutException e) {
+                LOGGER.warn("Spooled batch of {} weather events not acknowledged within {} ms, waiting for it to settle",
+                        batch.recordCount(), sendTimeoutMs);
+                awaitSettled(batch, sends);
+                return;
+            } catch (Exception e) {
+                LOGGER.warn("Kafka still unavailable, {} weather events remain spooled: {}", eventSpool.size(), e.getMessage());
+                return;
+            }
+            commit(batch);
+        }
+    }
+
+    private void awaitSettled(EventSpool.Batch batch, List<CompletableFuture<?>> sends) {
+        outstandingBatch = batch;
+        outstandingSends = sends;
+    }
+
+    private void commit(EventSpool.Batch batch) {
+        eventSpool.commit(batch);
+        LOGGER.info("Replayed {} spooled weather events to Kafka, {} remaining", batch.recordCount(), eventSpool.size());
+    }
+}
@@ -0,0 +1,128 @@
+package com.proj.weather_producer.spool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One fixed-size, memory-mapped spool file.
+ * Layout: [long readPosition] followed by records of [int length][long epochMillis][length bytes].
+ * The length is written last, so a record torn by a crash reads as the end of the segment.
+ */
+final class SpoolSegment implements Closeable {
+
+    static final int HEADER_BYTES = Long.BYTES;
+    static final int RECORD_OVERHEAD = Integer.BYTES + Long.BYTES;
+
+    private final long id;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int readPosition;
+    private int writePosition;
+
+    private SpoolSegment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static SpoolSegment open(Path path, long id, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // An existing segment keeps the size it was created with
+        long mappedSize = Math.max(channel.size(), size);
+        SpoolSegment segment = new SpoolSegment(id, path, channel,
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+        segment.recover();
+        return segment;
+    }
+
+    private void recover() {
+        int position = HEADER_BYTES;
+        while (position + RECORD_OVERHEAD <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_OVERHEAD + length > buffer.capacity()) {
+                break;
+            }
+            position += RECORD_OVERHEAD + length;
+        }
+        writePosition = position;
+        long storedReadPosition = buffer.getLong(0);
+        readPosition = (int) Math.min(Math.max(storedReadPosition, HEADER_BYTES), writePosition);
+    }
+
+    /**
+     * @return false when the record does not fit, the caller then rolls over to a new segment
+     */
+    boolean append(byte[] payload, long epochMillis) {
+        int recordBytes = RECORD_OVERHEAD + payload.length;
+        if (writePosition + recordBytes > buffer.capacity()) {
+            return false;
+        }
+        buffer.putLong(writePosition + Integer.BYTES, epochMillis);
+        buffer.put(writePosition + RECORD_OVERHEAD, payload);
+        buffer.putInt(writePosition, payload.length);
+        buffer.force(writePosition, recordBytes);
+        writePosition += recordBytes;
+        return true;
+    }
+
+    boolean hasUnread(int position) {
+        return position < writePosition;
+    }
+
+    int recordLength(int position) {
+        return buffer.getInt(position);
+    }
+
+    long recordTimestamp(int position) {
+        return buffer.getLong(position + Integer.BYTES);
+    }
+
+    byte[] recordPayload(int position) {
+        byte[] payload = new byte[recordLength(position)];
+        buffer.get(position + RECORD_OVERHEAD, payload);
+        return payload;
+    }
+
+    int nextPosition(int position) {
+        return position + RECORD_OVERHEAD + recordLength(position);
+    }
+
+    void commitReadPosition(int position) {
+        readPosition = position;
+        buffer.putLong(0, position);
+        buffer.force(0, HEADER_BYTES);
+    }
+
+    long id() {
+        return id;
+    }
+
+    int readPosition() {
+        return readPosition;
+    }
+
+    int unreadBytes() {
+        return writePosition - readPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * The mapping itself is released by the GC, which is fine on Linux once the file is unlinked.
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+}
@@ -12,7 +12,8 @@ import org.springframework.test.context.TestPropertySource;
 @SpringBootTest
 @EnableAutoConfiguration(exclude = KafkaAutoConfiguration.class)
 @TestPropertySource(properties = {
-		"spring.kafka.bootstrap-servers="
+		"spring.kafka.bootstrap-servers=",
+		"weather.spool.dir=target/spool"
 })
 class WeatherProducerApplicationTests {
 
@@ -0,0 +1,53 @@
+package com.proj.weather_producer.priority;
+
+import com.proj.weather_producer.model.WeatherEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventPriorityClassifierTests {
+
+	private ActiveSubscriptions activeSubscriptions;
+	private EventPriorityClassifier classifier;
+
+	@BeforeEach
+	void setUp() {
+		activeSubscriptions = mock(ActiveSubscriptions.class);
+		when(activeSubscriptions.matches("Athlone, IE", "rain")).thenReturn(true);
+		classifier = new EventPriorityClassifier(activeSubscriptions);
+	}
+
+	@Test
+	void firstEventWithoutSubscriptionIsRoutine() {
+		assertFalse(classifier.isPriority(event("clear")));
+	}
+
+	@Test
+	void conditionChangeIsPriority() {
+		classifier.isPriority(event("clear"));
+		assertTrue(classifier.isPriority(event("fog")));
+	}
+
+	@Test
+	void subscriptionMatchIsPriority() {
+		assertTrue(classifier.isPriority(event("rain")));
+		// Still matching a subscription when the condition repeats
+		assertTrue(classifier.isPriority(event("rain")));
+	}
+
+	@Test
+	void repeatedNonMatchingEventIsRoutine() {
+		classifier.isPriority(event("clear"));
+		assertFalse(classifier.isPriority(event("clear")));
+	}
+
+	private static WeatherEvent event(String condition) {
+		return new WeatherEvent("Athlone, IE", condition, 10.0, LocalDateTime.of(2025, 1, 1, 10, 0));
+	}
+}
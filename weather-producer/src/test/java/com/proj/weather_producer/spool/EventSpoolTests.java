@@ -0,0 +1,83 @@
+package com.proj.weather_producer.spool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.proj.weather_producer.model.WeatherEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventSpoolTests {
+
+	private static final int SEGMENT_SIZE = 1024;
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void replaysEventsInOrderAcrossSegmentsAndRestarts() throws Exception {
+		EventSpool spool = open(1024 * 1024);
+		for (int i = 0; i < 30; i++) {
+			assertTrue(spool.append(event(i)));
+		}
+		assertEquals(30, spool.size());
+		assertTrue(segmentFiles() > 1);
+
+		EventSpool.Batch first = spool.peek(12);
+		assertEquals(12, first.recordCount());
+		spool.commit(first);
+		spool.close();
+
+		// Committed events stay gone and the rest come back in order after a restart
+		EventSpool reopened = open(1024 * 1024);
+		assertEquals(18, reopened.size());
+		List<WeatherEvent> rest = reopened.peek(100).events();
+		assertEquals(18, rest.size());
+		for (int i = 0; i < rest.size(); i++) {
+			assertEquals(12 + i, rest.get(i).getTemperatureCelsius());
+		}
+		reopened.commit(reopened.peek(100));
+		assertTrue(reopened.isEmpty());
+		assertEquals(0, reopened.bytes());
+		assertEquals(1, segmentFiles());
+		reopened.close();
+	}
+
+	@Test
+	void dropsEventsOnceFull() {
+		EventSpool spool = open(200);
+		assertTrue(spool.append(event(0)));
+		assertFalse(spool.append(event(1)));
+		assertEquals(1, spool.size());
+		spool.close();
+	}
+
+	private EventSpool open(long maxBytes) {
+		return new EventSpool(directory.toString(), SEGMENT_SIZE, maxBytes, objectMapper, new SimpleMeterRegistry());
+	}
+
+	private static WeatherEvent event(int i) {
+		return new WeatherEvent("Athlone, IE", i % 2 == 0 ? "rain" : "clear", i, LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i));
+	}
+
+	private long segmentFiles() throws Exception {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package com.proj.weather_producer.spool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.proj.weather_producer.model.WeatherEvent;
+import com.proj.weather_producer.priority.EventPriorityClassifier;
+import com.proj.weather_producer.producer.WeatherEventProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The producer's spool fallback and the drainer, against a mocked KafkaTemplate.
+ */
+class SpoolFallbackTests {
+
+	@TempDir
+	Path directory;
+
+	private KafkaTemplate<String, WeatherEvent> kafkaTemplate;
+	private EventSpool eventSpool;
+	private WeatherEventProducer producer;
+	private SpoolDrainer drainer;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		kafkaTemplate = mock(KafkaTemplate.class);
+		ObjectMapper objectMapper = new ObjectMapper()
+				.registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		eventSpool = new EventSpool(directory.toString(), 4096, 1024 * 1024, objectMapper, new SimpleMeterRegistry());
+		producer = new WeatherEventProducer(kafkaTemplate, eventSpool, mock(EventPriorityClassifier.class));
+		ReflectionTestUtils.setField(producer, "topic", "weather-events");
+		drainer = new SpoolDrainer(eventSpool, producer);
+		ReflectionTestUtils.setField(drainer, "batchSize", 10);
+		ReflectionTestUtils.setField(drainer, "maxBatchesPerRun", 10);
+		ReflectionTestUtils.setField(drainer, "sendTimeoutMs", 10_000L);
+	}
+
+	@AfterEach
+	void tearDown() {
+		eventSpool.close();
+	}
+
+	@Test
+	void synchronousSendFailureIsSpooled() {
+		when(kafkaTemplate.send(anyString(), anyString(), any())).thenThrow(new TimeoutException("no metadata"));
+		producer.sendWeatherEvent(event(1));
+		assertEquals(1, eventSpool.size());
+	}
+
+	@Test
+	void failedFutureIsSpooledAndLaterEventsQueueBehindIt() {
+		when(kafkaTemplate.send(anyString(), anyString(), any()))
+				.thenReturn(CompletableFuture.failedFuture(new TimeoutException("delivery timeout")));
+		producer.sendWeatherEvent(event(1));
+		assertEquals(1, eventSpool.size());
+
+		producer.sendWeatherEvent(event(2));
+		producer.sendWeatherEvent(event(3));
+		// Only the first event reached the template, the others went straight to the spool
+		verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any());
+		List<WeatherEvent> spooled = eventSpool.peek(10).events();
+		assertEquals(List.of(1.0, 2.0, 3.0), spooled.stream().map(WeatherEvent::getTemperatureCelsius).toList());
+	}
+
+	@Test
+	void drainKeepsBatchWhenOneSendFails() {
+		spool(3);
+		when(kafkaTemplate.send(anyString(), anyString(), any()))
+				.thenReturn(acknowledged(), CompletableFuture.failedFuture(new TimeoutException("broker down")), acknowledged());
+		drainer.drain();
+		assertEquals(3, eventSpool.size());
+	}
+
+	@Test
+	void drainCommitsBatchOnlyAfterEverySendCompletes() throws Exception {
+		spool(3);
+		CompletableFuture<SendResult<String, WeatherEvent>> pending = new CompletableFuture<>();
+		when(kafkaTemplate.send(anyString(), anyString(), any()))
+				.thenReturn(acknowledged(), pending, acknowledged());
+
+		Thread drain = new Thread(drainer::drain);
+		drain.start();
+		Thread.sleep(300);
+		assertTrue(drain.isAlive());
+		assertEquals(3, eventSpool.size());
+
+		pending.complete(null);
+		drain.join(10_000);
+		assertTrue(eventSpool.isEmpty());
+	}
+
+	@Test
+	void timedOutBatchIsNotResentUntilItsSendsSettle() {
+		spool(3);
+		ReflectionTestUtils.setField(drainer, "sendTimeoutMs", 100L);
+		CompletableFuture<SendResult<String, WeatherEvent>> pending = new CompletableFuture<>();
+		when(kafkaTemplate.send(anyString(), anyString(), any()))
+				.thenReturn(acknowledged(), pending, acknowledged());
+
+		drainer.drain();
+		drainer.drain();
+		verify(kafkaTemplate, times(3)).send(anyString(), anyString(), any());
+		assertEquals(3, eventSpool.size());
+
+		// Delivered late, within the producer's own delivery timeout
+		pending.complete(null);
+		drainer.drain();
+		verify(kafkaTemplate, times(3)).send(anyString(), anyString(), any());
+		assertTrue(eventSpool.isEmpty());
+	}
+
+	@Test
+	void timedOutBatchIsRetriedWholeWhenASendFailsLate() {
+		spool(3);
+		ReflectionTestUtils.setField(drainer, "sendTimeoutMs", 100L);
+		CompletableFuture<SendResult<String, WeatherEvent>> pending = new CompletableFuture<>();
+		when(kafkaTemplate.send(anyString(), anyString(), any()))
+				.thenReturn(acknowledged(), pending, acknowledged());
+
+		drainer.drain();
+		pending.completeExceptionally(new TimeoutException("delivery timeout"));
+		drainer.drain();
+		assertEquals(3, eventSpool.size());
+		verify(kafkaTemplate, times(3)).send(anyString(), anyString(), any());
+
+		drainer.drain();
+		verify(kafkaTemplate, times(6)).send(anyString(), anyString(), any());
+		assertTrue(eventSpool.isEmpty());
+	}
+
+	@Test
+	void drainDoesNothingWhenSpoolIsEmpty() {
+		drainer.drain();
+		verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+	}
+
+	private void spool(int events) {
+		for (int i = 1; i <= events; i++) {
+			eventSpool.append(event(i));
+		}
+	}
+
+	private static CompletableFuture<SendResult<String, WeatherEvent>> acknowledged() {
+		return CompletableFuture.completedFuture(null);
+	}
+
+	private static WeatherEvent event(int i) {
+		return new WeatherEvent("Athlone, IE", "rain", i, LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i));
+	}
+}